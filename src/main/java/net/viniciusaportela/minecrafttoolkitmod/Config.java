@@ -0,0 +1,19 @@
+package net.viniciusaportela.minecrafttoolkitmod;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+
+public class Config
+{
+    private static final ForgeConfigSpec.Builder BUILDER = new ForgeConfigSpec.Builder();
+
+    public static final ForgeConfigSpec.IntValue MEMORY_BUDGET_MB = BUILDER
+            .comment("How much intermediate dump data (in MB) each exporter may keep in memory before spilling it to " +
+                    "temporary files on disk. Lower it on servers with a small heap.")
+            .defineInRange("memoryBudgetMb", 32, 1, 1024);
+
+    static final ForgeConfigSpec SPEC = BUILDER.build();
+
+    public static long memoryBudgetBytes() {
+        return MEMORY_BUDGET_MB.get() * 1024L * 1024L;
+    }
+}
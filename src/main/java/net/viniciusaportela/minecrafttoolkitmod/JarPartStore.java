@@ -0,0 +1,104 @@
+package net.viniciusaportela.minecrafttoolkitmod;
+
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Per-jar output of a dump stage, stored as {@link JsonLines}. Parts are written straight to disk, so unlike
+ * {@link SpillingJsonArray} they need no memory budget. A jar's part only appears once the jar was
+ * processed completely, so the set of finished parts doubles as the checkpoint an interrupted dump resumes from.
+ * Parts are keyed by the jar path, size and modification time, so an updated jar is processed again.
+ */
+public class JarPartStore
+{
+    private final Path partsDir;
+
+    public JarPartStore(Path partsDir) {
+        this.partsDir = partsDir;
+    }
+
+    public boolean isDone(String jarPath) {
+        return Files.exists(partFile(jarPath));
+    }
+
+    public Part begin(String jarPath) throws IOException {
+        Files.createDirectories(partsDir);
+        return new Part(partFile(jarPath));
+    }
+
+    public void mergeTo(List<String> jarPaths, JsonWriter writer, Consumer<JsonObject> beforeWrite) throws IOException {
+        writer.beginArray();
+
+        for (String jarPath : jarPaths) {
+            Path part = partFile(jarPath);
+            if (!Files.exists(part)) {
+                continue;
+            }
+
+            JsonLines.copyFile(part, writer, beforeWrite);
+        }
+
+        writer.endArray();
+    }
+
+    // Identifies the exact set of jars a staging folder was written for
+    public static String fingerprint(List<String> jarPaths) {
+        StringBuilder keys = new StringBuilder();
+        for (String jarPath : jarPaths) {
+            keys.append(jarKey(jarPath)).append('\n');
+        }
+        return UUID.nameUUIDFromBytes(keys.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private Path partFile(String jarPath) {
+        String key = jarKey(jarPath);
+        return partsDir.resolve(UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)) + ".part");
+    }
+
+    private static String jarKey(String jarPath) {
+        File jar = Paths.get(jarPath).toFile();
+        return jarPath + "|" + jar.length() + "|" + jar.lastModified();
+    }
+
+    public static class Part implements Closeable
+    {
+        private final Path target;
+        private final Path temp;
+        private final BufferedWriter writer;
+        private boolean committed = false;
+
+        private Part(Path target) throws IOException {
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+            this.writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8);
+        }
+
+        public void add(Object element) throws IOException {
+            JsonLines.writeLine(writer, JsonLines.toLine(element));
+        }
+
+        public void commit() throws IOException {
+            writer.close();
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                writer.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package net.viniciusaportela.minecrafttoolkitmod;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Line-delimited JSON used for the dump's intermediate files: one compact element per line, which is later copied
+ * into the pretty-printed output through a {@link JsonWriter}. Compact Gson output escapes line breaks inside
+ * strings, so a line is always exactly one element.
+ */
+public final class JsonLines
+{
+    private static final Gson GSON = new Gson();
+
+    private JsonLines() {
+    }
+
+    public static String toLine(Object element) {
+        return GSON.toJson(element);
+    }
+
+    public static void writeLine(BufferedWriter writer, String line) throws IOException {
+        writer.write(line);
+        writer.newLine();
+    }
+
+    public static void copyLine(String line, JsonWriter writer, Consumer<JsonObject> beforeWrite) {
+        JsonElement element = JsonParser.parseString(line);
+        if (element.isJsonObject()) {
+            beforeWrite.accept(element.getAsJsonObject());
+        }
+        GSON.toJson(element, writer);
+    }
+
+    public static void copyFile(Path file, JsonWriter writer, Consumer<JsonObject> beforeWrite) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                copyLine(line, writer, beforeWrite);
+            }
+        }
+    }
+}
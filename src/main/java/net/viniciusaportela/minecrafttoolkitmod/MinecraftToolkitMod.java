@@ -27,7 +27,9 @@ import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModList;
+import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.loading.FMLLoader;
 import net.minecraftforge.fml.loading.FMLPaths;
 import net.minecraftforge.forgespi.language.IModFileInfo;
@@ -36,6 +38,7 @@ import net.minecraftforge.forgespi.locating.IModFile;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraft.world.entity.EntityType;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import net.minecraftforge.registries.tags.ITag;
 import net.minecraftforge.registries.tags.ITagManager;
 import org.slf4j.Logger;
@@ -46,6 +49,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.stream.Stream;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipEntry;
 
@@ -63,11 +67,17 @@ public class MinecraftToolkitMod
     {
         // Register ourselves for server and other game events we are interested in
         MinecraftForge.EVENT_BUS.register(this);
+
+        ModLoadingContext.get().registerConfig(ModConfig.Type.COMMON, Config.SPEC);
     }
 
-    private final List<Map<String, Object>> texturePaths = new ArrayList<>();
+    private static final Gson PRETTY_GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final List<Map<String, Object>> dumpErrors = new ArrayList<>();
 
-    private int recipesIndex = 0;
+    // Spill runs live next to the output folder rather than in it, so a failed dump never leaves them where the
+    // toolkit reads, and on disk in the server folder rather than in a tmpdir that may be memory backed
+    private Path spillDir;
 
     @SubscribeEvent
     public void onRegisterCommands(RegisterCommandsEvent event) {
@@ -76,98 +86,117 @@ public class MinecraftToolkitMod
         dispatcher
             .register(Commands.literal("toolkit-mod")
             .then(Commands.literal("dump")
-            .executes(this::dump)));
+            .executes(this::dump)
+            .then(Commands.literal("fresh")
+            .executes(this::dumpFresh))));
     }
 
     public int dump(CommandContext<CommandSourceStack> context) {
-        context.getSource().sendSuccess(() -> Component.literal("Dumping... this can take a while"),
-                true);
-
-        recipesIndex = 0;
-        texturePaths.clear();
-
-        createFolderStructure();
-        saveItems();
-        saveBlockList();
-        savePotions();
-        saveMods();
-        saveEntityList();
-        saveAttributeList();
-        saveEffects();
-        saveRecipes();
-        saveTags();
-        extractAllTextures();
-        copyConfigs(context);
-        saveMetadata(context);
-
-        context.getSource().sendSuccess(() -> Component.literal("Data dumped successfully! You can now open your " +
-                        "project in Minecraft Toolkit"),
-                true);
-
-        return 1;
+        return runDump(context, false);
     }
 
-    private void saveTags() {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        Map<String, Object> tagData = new HashMap<>();
-        List<Map<String, Object>> tags = new ArrayList<>();
+    public int dumpFresh(CommandContext<CommandSourceStack> context) {
+        return runDump(context, true);
+    }
 
-        ITagManager<Item> tagManager = ForgeRegistries.ITEMS.tags();
-        List<TagKey<Item>> tagKeys = tagManager.getTagNames().toList();
+    // Everything is written to the staging folder first and only swapped in once the whole dump went through, so an
+    // interrupted dump never leaves a half-written minecraft-toolkit folder behind and can resume from its parts
+    private int runDump(CommandContext<CommandSourceStack> context, boolean fresh) {
+        dumpErrors.clear();
 
-        for (TagKey<Item> tagKey : tagKeys) {
-            ITag<Item> tag = tagManager.getTag(tagKey);
-            Map<String, Object> tagDetails = new HashMap<>();
-            tagDetails.put("name", tagKey.location().toString());
-            List<String> items = new ArrayList<>();
-            ForgeRegistries.ITEMS.tags().getTag(tagKey).stream().toList().forEach(item ->
-                            items.add(ForgeRegistries.ITEMS.getKey(item).toString()));
-            tagDetails.put("items", items);
-            tags.add(tagDetails);
+        try {
+            spillDir = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit.spill");
+            deleteDirectory(spillDir);
+            Files.createDirectories(spillDir);
+
+            String startMessage = prepareStaging(fresh);
+            context.getSource().sendSuccess(() -> Component.literal(startMessage), true);
+
+            createFolderStructure();
+            Files.writeString(stagingDir().resolve(".parts/jars"), JarPartStore.fingerprint(getJars()));
+            saveItems();
+            saveBlockList();
+            savePotions();
+            saveMods();
+            saveEntityList();
+            saveAttributeList();
+            saveEffects();
+            saveRecipes();
+            saveTags();
+            extractAllTextures();
+            copyConfigs(context);
+            saveMetadata(context);
+            saveErrors();
+
+            // The parts stay until the swap went through, so a failed publish can still be resumed
+            publishStaging();
+            deleteParts(publishDir().resolve(".parts"));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to dump data", e);
+            context.getSource().sendFailure(Component.literal("Dump failed: " + e.getMessage() + ". Run " +
+                    "/toolkit-mod dump again to resume it"));
+            return 0;
+        } finally {
+            deleteSpillDir();
+        }
+
+        if (dumpErrors.isEmpty()) {
+            context.getSource().sendSuccess(() -> Component.literal("Data dumped successfully! You can now open " +
+                            "your project in Minecraft Toolkit"),
+                    true);
+        } else {
+            int errorCount = dumpErrors.size();
+            context.getSource().sendSuccess(() -> Component.literal("Data dumped with " + errorCount + " error(s), " +
+                            "see minecraft-toolkit/errors.json. You can now open your project in Minecraft Toolkit"),
+                    true);
         }
 
-        tagData.put("tags", tags);
-        tagData.put("version", 1);
+        return 1;
+    }
 
-        // Save to JSON file
-        Path path = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/tags.json");
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            gson.toJson(tagData, writer);
+    private void saveTags() {
+        try (SpillingJsonArray tags = newSpillingArray("tags")) {
+            ITagManager<Item> tagManager = ForgeRegistries.ITEMS.tags();
+            List<TagKey<Item>> tagKeys = tagManager.getTagNames().toList();
+
+            for (TagKey<Item> tagKey : tagKeys) {
+                ITag<Item> tag = tagManager.getTag(tagKey);
+                Map<String, Object> tagDetails = new HashMap<>();
+                tagDetails.put("name", tagKey.location().toString());
+                List<String> items = new ArrayList<>();
+                ForgeRegistries.ITEMS.tags().getTag(tagKey).stream().toList().forEach(item ->
+                                items.add(ForgeRegistries.ITEMS.getKey(item).toString()));
+                tagDetails.put("items", items);
+                tags.add(tagDetails);
+            }
+
+            writeArrayFile("tags.json", "tags", tags::writeTo);
         } catch (IOException e) {
-            e.printStackTrace();
+            reportError("tags", "tags.json", e);
         }
     }
 
     private void saveEffects() {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        Map<String, Object> itemData = new HashMap<>();
-        List<Map<String, Object>> effects = new ArrayList<>();
-
-        int index = 0;
-        for (Map.Entry<ResourceKey<MobEffect>, MobEffect> effectEntry : ForgeRegistries.MOB_EFFECTS.getEntries()) {
-            ResourceKey<MobEffect> itemKey = effectEntry.getKey();
-            MobEffect effect = effectEntry.getValue();
-            ResourceLocation effectId = itemKey.location();
+        try (SpillingJsonArray effects = newSpillingArray("effects")) {
+            int index = 0;
+            for (Map.Entry<ResourceKey<MobEffect>, MobEffect> effectEntry : ForgeRegistries.MOB_EFFECTS.getEntries()) {
+                ResourceKey<MobEffect> itemKey = effectEntry.getKey();
+                MobEffect effect = effectEntry.getValue();
+                ResourceLocation effectId = itemKey.location();
 
-            Map<String, Object> details = new HashMap<>();
-            details.put("id", effectId.toString());
-            details.put("name", I18n.get(effect.getDescriptionId()));
-            details.put("mod", effectId.getNamespace());
-            details.put("index", index);
-            index++;
-
-            effects.add(details);
-        }
+                Map<String, Object> details = new HashMap<>();
+                details.put("id", effectId.toString());
+                details.put("name", I18n.get(effect.getDescriptionId()));
+                details.put("mod", effectId.getNamespace());
+                details.put("index", index);
+                index++;
 
-        itemData.put("mods", effects);
-        itemData.put("version", 1);
+                effects.add(details);
+            }
 
-        // Save to JSON file
-        Path path = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/effects.json");
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            gson.toJson(itemData, writer);
+            writeArrayFile("effects.json", "mods", effects::writeTo);
         } catch (IOException e) {
-            e.printStackTrace();
+            reportError("effects", "effects.json", e);
         }
     }
 
@@ -187,35 +216,51 @@ public class MinecraftToolkitMod
         return jarPath;
     }
 
-    private void saveRecipes() {
-        Map<String, Object> recipeData = new HashMap<>();
-        List<JsonElement> recipes = new ArrayList<>();
-        Set<String> recipeTypes = new HashSet<>();
-
+    private void saveRecipes() throws IOException {
+        JarPartStore recipeParts = new JarPartStore(stagingDir().resolve(".parts/recipes"));
         List<String> jarPaths = this.getJars();
 
         for (String path : jarPaths) {
-            try {
-                extractRecipesFromJar(path, recipes, recipeTypes);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+            if (recipeParts.isDone(path)) {
+                continue;
             }
-        }
 
-        recipeData.put("version", 1);
-        recipeData.put("recipes", recipes);
-        recipeData.put("types", new ArrayList<>(recipeTypes));
+            try (JarPartStore.Part part = recipeParts.begin(path)) {
+                extractRecipesFromJar(path, part);
+                part.commit();
+            } catch (IOException | RuntimeException e) {
+                reportError("recipes", path, e);
+            }
+        }
 
-        Path path = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/recipes.json");
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            gson.toJson(recipeData, writer);
-        } catch (IOException e) {
-            e.printStackTrace();
+        Set<String> recipeTypes = new HashSet<>();
+        int[] index = {0};
+
+        Path path = stagingDir().resolve("recipes.json");
+        try (Writer writer = Files.newBufferedWriter(path);
+             JsonWriter jsonWriter = PRETTY_GSON.newJsonWriter(writer)) {
+            jsonWriter.beginObject();
+            jsonWriter.name("version").value(1);
+            jsonWriter.name("recipes");
+            recipeParts.mergeTo(jarPaths, jsonWriter, recipe -> {
+                recipe.addProperty("index", index[0]++);
+
+                // Recipes are parsed leniently, so a broken type must not abort the merge of every other jar
+                JsonElement type = recipe.get("type");
+                if (type != null && type.isJsonPrimitive()) {
+                    recipeTypes.add(type.getAsString());
+                } else if (type != null) {
+                    reportError("recipes", recipe.get("filePath").getAsString(),
+                            new JsonParseException("Unexpected recipe type: " + type));
+                }
+            });
+            jsonWriter.name("types");
+            PRETTY_GSON.toJson(new ArrayList<>(recipeTypes), List.class, jsonWriter);
+            jsonWriter.endObject();
         }
     }
 
-    private void extractRecipesFromJar(String jarFilePath, List<JsonElement> recipes, Set<String> recipeTypes) throws IOException {
+    private void extractRecipesFromJar(String jarFilePath, JarPartStore.Part recipes) throws IOException {
         Path jarPath = Paths.get(jarFilePath);
         if (!Files.exists(jarPath) || !jarFilePath.endsWith(".jar")) {
             return;
@@ -234,7 +279,6 @@ public class MinecraftToolkitMod
                         if (recipeJson.isJsonObject()) {
                             JsonObject recipeObject = recipeJson.getAsJsonObject();
                             recipeObject.addProperty("filePath", entry.getName());
-                            recipeObject.addProperty("index", recipesIndex);
 
                             String filePath = entry.getName();
                             String modId = filePath.split("/")[1];
@@ -242,12 +286,7 @@ public class MinecraftToolkitMod
                             recipeObject.addProperty("id", modId + ":" + jsonName);
                             recipeObject.addProperty("mod", modId);
 
-                            recipesIndex++;
                             recipes.add(recipeObject);
-
-                            if (recipeObject.has("type")) {
-                                recipeTypes.add(recipeObject.get("type").getAsString());
-                            }
                         }
                     }
                 }
@@ -264,22 +303,40 @@ public class MinecraftToolkitMod
         }
     }
 
-    private void createFolderStructure() {
-        Path basePath = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit");
+    // A staging folder is only resumed when it was written for the exact same jars, otherwise outputs of updated or
+    // removed jars would be published alongside the new ones
+    private String prepareStaging(boolean fresh) throws IOException {
+        Path jarSetFile = stagingDir().resolve(".parts/jars");
+
+        if (fresh) {
+            deleteDirectory(stagingDir());
+        } else if (Files.exists(stagingDir())) {
+            if (Files.exists(jarSetFile)
+                    && Files.readString(jarSetFile).equals(JarPartStore.fingerprint(getJars()))) {
+                return "Resuming previous dump... this can take a while";
+            }
+
+            deleteDirectory(stagingDir());
+            return "Mods changed since the interrupted dump, dumping from scratch... this can take a while";
+        }
+
+        return "Dumping... this can take a while";
+    }
+
+    private void createFolderStructure() throws IOException {
+        Path basePath = stagingDir();
         Path configs = basePath.resolve("configs");
         Path mods = basePath.resolve("mods");
         Path textures = basePath.resolve("assets");
         Path icons = basePath.resolve("icons");
-
-        try {
-            Files.createDirectories(basePath);
-            Files.createDirectories(configs);
-            Files.createDirectories(mods);
-            Files.createDirectories(textures);
-            Files.createDirectories(icons);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        Path parts = basePath.resolve(".parts");
+
+        Files.createDirectories(basePath);
+        Files.createDirectories(parts);
+        Files.createDirectories(configs);
+        Files.createDirectories(mods);
+        Files.createDirectories(textures);
+        Files.createDirectories(icons);
     }
 
     private void saveMetadata(CommandContext<CommandSourceStack> context) {
@@ -304,140 +361,113 @@ public class MinecraftToolkitMod
             metadata.put("worldPath", worldSavePath.toAbsolutePath().toString());
         }
 
-        Path path = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/metadata.json");
+        Path path = stagingDir().resolve("metadata.json");
         try (FileWriter writer = new FileWriter(path.toFile())) {
             gson.toJson(metadata, writer);
         } catch (IOException e) {
-            e.printStackTrace();
+            reportError("metadata", "metadata.json", e);
         }
     }
 
     private void saveItems() {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        Map<String, Object> itemData = new HashMap<>();
-        List<Map<String, Object>> items = new ArrayList<>();
-
-        int index = 0;
-        for (Map.Entry<ResourceKey<Item>, Item> itemEntry : ForgeRegistries.ITEMS.getEntries()) {
-            ResourceKey<Item> itemKey = itemEntry.getKey();
-            Item item = itemEntry.getValue();
-            ResourceLocation itemId = itemKey.location();
-
-            Map<String, Object> details = new HashMap<>();
-            details.put("id", itemId.toString());
-            details.put("name", I18n.get(item.getDescriptionId()));
-            details.put("mod", itemId.getNamespace());
-            details.put("isBlock", item instanceof BlockItem);
-            if (item instanceof BlockItem) {
-                Block block = ((BlockItem) item).getBlock();
-                details.put("blockName", I18n.get(block.getDescriptionId()));
-
-                ResourceLocation blockId = ForgeRegistries.BLOCKS.getKey(block);
-                if (blockId != null) {
-                    details.put("blockId", blockId.toString());
-                }
-            }
-            details.put("index", index);
-            index++;
+        try (SpillingJsonArray items = newSpillingArray("items")) {
+            int index = 0;
+            for (Map.Entry<ResourceKey<Item>, Item> itemEntry : ForgeRegistries.ITEMS.getEntries()) {
+                ResourceKey<Item> itemKey = itemEntry.getKey();
+                Item item = itemEntry.getValue();
+                ResourceLocation itemId = itemKey.location();
 
-            items.add(details);
-        }
+                Map<String, Object> details = new HashMap<>();
+                details.put("id", itemId.toString());
+                details.put("name", I18n.get(item.getDescriptionId()));
+                details.put("mod", itemId.getNamespace());
+                details.put("isBlock", item instanceof BlockItem);
+                if (item instanceof BlockItem) {
+                    Block block = ((BlockItem) item).getBlock();
+                    details.put("blockName", I18n.get(block.getDescriptionId()));
+
+                    ResourceLocation blockId = ForgeRegistries.BLOCKS.getKey(block);
+                    if (blockId != null) {
+                        details.put("blockId", blockId.toString());
+                    }
+                }
+                details.put("index", index);
+                index++;
 
-        itemData.put("items", items);
-        itemData.put("version", 1);
+                items.add(details);
+            }
 
-        // Save to JSON file
-        Path path = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/items.json");
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            gson.toJson(itemData, writer);
+            writeArrayFile("items.json", "items", items::writeTo);
         } catch (IOException e) {
-            e.printStackTrace();
+            reportError("items", "items.json", e);
         }
     }
 
     public void savePotions()
     {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        Map<String, Object> potionData = new HashMap<>();
-        List<Map<String, Object>> potions = new ArrayList<>();
-        
-        int index = 0;
-        for (Map.Entry<ResourceKey<Potion>, Potion> potionRegistryObject : ForgeRegistries.POTIONS.getEntries()) {
-            Potion potion = potionRegistryObject.getValue();
-            ResourceLocation potionId = potionRegistryObject.getKey().location();
-            if (potionId != null) {
-                Map<String, Object> details = new HashMap<>();
-                details.put("id", potionId.toString());
-                details.put("index", index);
+        try (SpillingJsonArray potions = newSpillingArray("potions")) {
+            int index = 0;
+            for (Map.Entry<ResourceKey<Potion>, Potion> potionRegistryObject : ForgeRegistries.POTIONS.getEntries()) {
+                Potion potion = potionRegistryObject.getValue();
+                ResourceLocation potionId = potionRegistryObject.getKey().location();
+                if (potionId != null) {
+                    Map<String, Object> details = new HashMap<>();
+                    details.put("id", potionId.toString());
+                    details.put("index", index);
 
-                // Collect potion effects
-                for (MobEffectInstance effectInstance : potion.getEffects()) {
-                    details.put("effect_" + effectInstance.getEffect().getDescriptionId(), effectInstance.getAmplifier());
-                }
+                    // Collect potion effects
+                    for (MobEffectInstance effectInstance : potion.getEffects()) {
+                        details.put("effect_" + effectInstance.getEffect().getDescriptionId(), effectInstance.getAmplifier());
+                    }
 
-                potions.add(details);
-                index++;
+                    potions.add(details);
+                    index++;
+                }
             }
-        }
-
-        potionData.put("potions", potions);
-        potionData.put("version", 1);
 
-        // Save to JSON file
-        Path path = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/potions.json");
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            gson.toJson(potionData, writer);
+            writeArrayFile("potions.json", "potions", potions::writeTo);
         } catch (IOException e) {
-            e.printStackTrace();
+            reportError("potions", "potions.json", e);
         }
     }
 
     public void saveMods() {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        Map<String, Object> modData = new HashMap<>();
-        List<Map<String, Object>> mods = new ArrayList<>();
-
-        int index = 0;
-        for (IModInfo modInfo : ModList.get().getMods()) {
-            Map<String, Object> details = new HashMap<>();
-            details.put("name", modInfo.getDisplayName());
-            details.put("id", modInfo.getModId());
-            details.put("path", modInfo.getOwningFile().getFile().getFilePath().toString());
-            details.put("index", index);
-
-            // Get mod icon
-            Optional<String> iconPathOptional = modInfo.getLogoFile();
-            iconPathOptional.ifPresent(iconPath -> {
-                try {
-                    String extractedIconPath = extractIcon(modInfo, iconPath);
-                    if (!extractedIconPath.isEmpty()) {
-                        details.put("icon", extractedIconPath);
-                    }
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            });
+        try (SpillingJsonArray mods = newSpillingArray("mods")) {
+            int index = 0;
+            for (IModInfo modInfo : ModList.get().getMods()) {
+                Map<String, Object> details = new HashMap<>();
+                details.put("name", modInfo.getDisplayName());
+                details.put("id", modInfo.getModId());
+                details.put("path", modInfo.getOwningFile().getFile().getFilePath().toString());
+                details.put("index", index);
 
-            mods.add(details);
-            index++;
-        }
+                // Get mod icon
+                Optional<String> iconPathOptional = modInfo.getLogoFile();
+                iconPathOptional.ifPresent(iconPath -> {
+                    try {
+                        String extractedIconPath = extractIcon(modInfo, iconPath);
+                        if (!extractedIconPath.isEmpty()) {
+                            details.put("icon", extractedIconPath);
+                        }
+                    } catch (IOException e) {
+                        reportError("icons", modInfo.getOwningFile().getFile().getFilePath().toString(), e);
+                    }
+                });
 
-        modData.put("mods", mods);
-        modData.put("version", 1);
+                mods.add(details);
+                index++;
+            }
 
-        // Save to JSON file
-        Path path = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/mods.json");
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            gson.toJson(modData, writer);
+            writeArrayFile("mods.json", "mods", mods::writeTo);
         } catch (IOException e) {
-            e.printStackTrace();
+            reportError("mods", "mods.json", e);
         }
     }
 
     private String extractIcon(IModInfo modInfo, String iconPath) throws IOException {
         IModFile modFile = modInfo.getOwningFile().getFile();
         File jarFile = new File(modFile.getFilePath().toString());
-        File outputDir = new File(FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/icons").toString());
+        File outputDir = new File(stagingDir().resolve("icons").toString());
 
         if (!outputDir.exists()) {
             outputDir.mkdirs();
@@ -455,7 +485,7 @@ public class MinecraftToolkitMod
                         outputStream.write(buffer, 0, len);
                     }
                 }
-                return outputFile.getAbsolutePath();
+                return publishedPath(outputFile);
             }
         }
 
@@ -463,123 +493,110 @@ public class MinecraftToolkitMod
     }
 
     private void saveBlockList() {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        Map<String, Object> blockData = new HashMap<>();
-        List<Map<String, Object>> blocks = new ArrayList<>();
-
-        int index = 0;
-        for (Map.Entry<ResourceKey<Block>, Block> blockEntry : ForgeRegistries.BLOCKS.getEntries()) {
-            ResourceKey<Block> blockKey = blockEntry.getKey();
-            Block block = blockEntry.getValue();
-            ResourceLocation blockId = blockKey.location();
-
-            Map<String, Object> details = new HashMap<>();
-            details.put("name", I18n.get(block.getDescriptionId()));
-            details.put("mod", blockId.getNamespace());
-            details.put("id", blockId.toString());
-            details.put("index", index);
-            blocks.add(details);
-            index++;
-        }
+        try (SpillingJsonArray blocks = newSpillingArray("blocks")) {
+            int index = 0;
+            for (Map.Entry<ResourceKey<Block>, Block> blockEntry : ForgeRegistries.BLOCKS.getEntries()) {
+                ResourceKey<Block> blockKey = blockEntry.getKey();
+                Block block = blockEntry.getValue();
+                ResourceLocation blockId = blockKey.location();
 
-        blockData.put("blocks", blocks);
-        blockData.put("version", 1);
+                Map<String, Object> details = new HashMap<>();
+                details.put("name", I18n.get(block.getDescriptionId()));
+                details.put("mod", blockId.getNamespace());
+                details.put("id", blockId.toString());
+                details.put("index", index);
+                blocks.add(details);
+                index++;
+            }
 
-        // Save to JSON file
-        Path path = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/blocks.json");
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            gson.toJson(blockData, writer);
+            writeArrayFile("blocks.json", "blocks", blocks::writeTo);
         } catch (IOException e) {
-            e.printStackTrace();
+            reportError("blocks", "blocks.json", e);
         }
     }
 
     private void saveAttributeList() {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        Map<String, Object> attributeData = new HashMap<>();
-        List<Map<String, Object>> attributes = new ArrayList<>();
-
-        int index = 0;
-        for (Map.Entry<ResourceKey<Attribute>, Attribute> attributeEntry : ForgeRegistries.ATTRIBUTES.getEntries()) {
-            ResourceKey<Attribute> attributeKey = attributeEntry.getKey();
-            Attribute attribute = attributeEntry.getValue();
-            ResourceLocation attributeId = attributeKey.location();
+        try (SpillingJsonArray attributes = newSpillingArray("attributes")) {
+            int index = 0;
+            for (Map.Entry<ResourceKey<Attribute>, Attribute> attributeEntry : ForgeRegistries.ATTRIBUTES.getEntries()) {
+                ResourceKey<Attribute> attributeKey = attributeEntry.getKey();
+                Attribute attribute = attributeEntry.getValue();
+                ResourceLocation attributeId = attributeKey.location();
 
-            Map<String, Object> details = new HashMap<>();
-            details.put("id", attributeId.toString());
-            details.put("name", I18n.get(attribute.getDescriptionId()));
-            details.put("index", index);
-            attributes.add(details);
-            index++;
-        }
-
-        attributeData.put("attributes", attributes);
-        attributeData.put("version", 1);
+                Map<String, Object> details = new HashMap<>();
+                details.put("id", attributeId.toString());
+                details.put("name", I18n.get(attribute.getDescriptionId()));
+                details.put("index", index);
+                attributes.add(details);
+                index++;
+            }
 
-        // Save to JSON file
-        Path path = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/attributes.json");
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            gson.toJson(attributeData, writer);
+            writeArrayFile("attributes.json", "attributes", attributes::writeTo);
         } catch (IOException e) {
-            e.printStackTrace();
+            reportError("attributes", "attributes.json", e);
         }
     }
 
     private void saveEntityList() {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        Map<String, Object> entityData = new HashMap<>();
-        List<Map<String, Object>> entities = new ArrayList<>();
+        try (SpillingJsonArray entities = newSpillingArray("entities")) {
+            int index = 0;
+            for (Map.Entry<ResourceKey<EntityType<?>>, EntityType<?>> entityEntry : ForgeRegistries.ENTITY_TYPES.getEntries()) {
+                ResourceKey<EntityType<?>> entityKey = entityEntry.getKey();
+                EntityType<?> entityType = entityEntry.getValue();
+                ResourceLocation entityId = entityKey.location();
 
-        int index = 0;
-        for (Map.Entry<ResourceKey<EntityType<?>>, EntityType<?>> entityEntry : ForgeRegistries.ENTITY_TYPES.getEntries()) {
-            ResourceKey<EntityType<?>> entityKey = entityEntry.getKey();
-            EntityType<?> entityType = entityEntry.getValue();
-            ResourceLocation entityId = entityKey.location();
-
-            Map<String, Object> details = new HashMap<>();
-            details.put("id", entityId.toString());
-            details.put("name", I18n.get(entityType.getDescriptionId()));
-            details.put("mod", entityId.getNamespace());
-            details.put("index", index);
-            entities.add(details);
-            index++;
-        }
-
-        entityData.put("entities", entities);
-        entityData.put("version", 1);
+                Map<String, Object> details = new HashMap<>();
+                details.put("id", entityId.toString());
+                details.put("name", I18n.get(entityType.getDescriptionId()));
+                details.put("mod", entityId.getNamespace());
+                details.put("index", index);
+                entities.add(details);
+                index++;
+            }
 
-        // Save to JSON file
-        Path path = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/entities.json");
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            gson.toJson(entityData, writer);
+            writeArrayFile("entities.json", "entities", entities::writeTo);
         } catch (IOException e) {
-            e.printStackTrace();
+            reportError("entities", "entities.json", e);
         }
     }
 
-    public void extractAllTextures() {
-        texturePaths.clear();
-        File outputDir = new File(FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/assets").toString());
+    public void extractAllTextures() throws IOException {
+        File outputDir = new File(stagingDir().resolve("assets").toString());
 
         if (!outputDir.exists()) {
             outputDir.mkdirs();
         }
 
+        JarPartStore textureParts = new JarPartStore(stagingDir().resolve(".parts/textures"));
+        Path pendingDir = stagingDir().resolve(".parts/textures-pending");
         List<String> jarPaths = this.getJars();
 
         for (String path : jarPaths) {
-            try {
-                extractAllTexturesFromJar(path, outputDir);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+            if (textureParts.isDone(path)) {
+                continue;
+            }
+
+            // A jar's textures are extracted aside and only moved into assets once the whole jar went through, so a
+            // failed or interrupted jar never truncates or replaces textures another jar already provided
+            try (JarPartStore.Part part = textureParts.begin(path)) {
+                deleteDirectory(pendingDir);
+                extractAllTexturesFromJar(path, outputDir, pendingDir.toFile(), part);
+                movePendingFiles(pendingDir, outputDir.toPath());
+                part.commit();
+            } catch (IOException | RuntimeException e) {
+                reportError("textures", path, e);
             }
         }
 
-        Path texturesJsonPath = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit/textures.json");
-        saveTexturesToJson(texturesJsonPath);
+        deleteDirectory(pendingDir);
+
+        int[] index = {0};
+        writeArrayFile("textures.json", "textures", writer ->
+                textureParts.mergeTo(jarPaths, writer, texture -> texture.addProperty("index", index[0]++)));
     }
 
-    private void extractAllTexturesFromJar(String jarFilePath, File outputDir) throws IOException {
+    private void extractAllTexturesFromJar(String jarFilePath, File outputDir, File pendingDir,
+                                           JarPartStore.Part texturePaths) throws IOException {
         Path jarPath = Paths.get(jarFilePath);
         if (!Files.exists(jarPath) || !jarFilePath.endsWith(".jar")) {
             return;
@@ -593,12 +610,12 @@ public class MinecraftToolkitMod
                     String modId = extractModId(entry.getName());
                     String outputPath = entry.getName().replaceFirst("assets/", "");
                     File outputFile = new File(outputDir, outputPath);
+                    File pendingFile = new File(pendingDir, outputPath);
 
                     Map<String, Object> details = new HashMap<>();
                     details.put("modId", modId);
                     details.put("internalPath", entry.getName());
-                    details.put("outPath", outputFile.getAbsolutePath());
-                    details.put("index", texturePaths.size());
+                    details.put("outPath", publishedPath(outputFile));
 
                     String withoutModId = entry.getName().replaceFirst("assets/[^/]+/", "");
 
@@ -606,12 +623,12 @@ public class MinecraftToolkitMod
 
                     texturePaths.add(details);
 
-                    if (!outputFile.getParentFile().exists()) {
-                        outputFile.getParentFile().mkdirs();
+                    if (!pendingFile.getParentFile().exists()) {
+                        pendingFile.getParentFile().mkdirs();
                     }
 
                     try (InputStream inputStream = zipFile.getInputStream(entry);
-                         FileOutputStream outputStream = new FileOutputStream(outputFile)) {
+                         FileOutputStream outputStream = new FileOutputStream(pendingFile)) {
                         byte[] buffer = new byte[1024];
                         int len;
                         while ((len = inputStream.read(buffer)) > 0) {
@@ -623,26 +640,147 @@ public class MinecraftToolkitMod
         }
     }
 
+    private void movePendingFiles(Path pendingDir, Path outputDir) throws IOException {
+        if (!Files.exists(pendingDir)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(pendingDir)) {
+            for (Path file : paths.filter(Files::isRegularFile).toList()) {
+                Path target = outputDir.resolve(pendingDir.relativize(file));
+                Files.createDirectories(target.getParent());
+                Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+    }
+
     private String extractModId(String assetPath) {
         String[] parts = assetPath.split("/");
         return (parts.length > 1) ? parts[1] : "unknown";
     }
 
-    private void saveTexturesToJson(Path jsonPath) {
-        Map<String, Object> root = new HashMap<>();
-        root.put("textures", texturePaths);
-        root.put("version", 1);
+    private SpillingJsonArray newSpillingArray(String name) {
+        return new SpillingJsonArray(spillDir, name, Config.memoryBudgetBytes());
+    }
 
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        try (FileWriter writer = new FileWriter(jsonPath.toFile())) {
-            gson.toJson(root, writer);
+    private void deleteSpillDir() {
+        if (spillDir == null) {
+            return;
+        }
+
+        try {
+            deleteDirectory(spillDir);
         } catch (IOException e) {
-            e.printStackTrace();
+            LOGGER.warn("Failed to delete spill folder {}", spillDir, e);
+        }
+        spillDir = null;
+    }
+
+    private interface JsonArrayContent {
+        void writeTo(JsonWriter writer) throws IOException;
+    }
+
+    // Streams the array into the file instead of building the whole document in memory first
+    private void writeArrayFile(String fileName, String key, JsonArrayContent array) throws IOException {
+        Path path = stagingDir().resolve(fileName);
+        try (Writer writer = Files.newBufferedWriter(path);
+             JsonWriter jsonWriter = PRETTY_GSON.newJsonWriter(writer)) {
+            jsonWriter.beginObject();
+            jsonWriter.name(key);
+            array.writeTo(jsonWriter);
+            jsonWriter.name("version").value(1);
+            jsonWriter.endObject();
+        }
+    }
+
+    private static Path publishDir() {
+        return FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit");
+    }
+
+    private static Path stagingDir() {
+        return FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit.staging");
+    }
+
+    // Files are written to the staging folder, but the toolkit reads them after it was moved into place
+    private String publishedPath(File stagingFile) {
+        return publishDir().resolve(stagingDir().relativize(stagingFile.toPath())).toAbsolutePath().toString();
+    }
+
+    private void reportError(String stage, String source, Exception e) {
+        LOGGER.warn("Failed to dump {} from {}", stage, source, e);
+
+        Map<String, Object> error = new HashMap<>();
+        error.put("stage", stage);
+        error.put("source", source);
+        error.put("error", e.toString());
+        dumpErrors.add(error);
+    }
+
+    private void saveErrors() throws IOException {
+        Map<String, Object> errorData = new HashMap<>();
+        errorData.put("errors", dumpErrors);
+        errorData.put("version", 1);
+
+        Path path = stagingDir().resolve("errors.json");
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            PRETTY_GSON.toJson(errorData, writer);
+        }
+    }
+
+    private void publishStaging() throws IOException {
+        Path published = publishDir();
+        Path previous = FMLPaths.GAMEDIR.get().resolve("minecraft-toolkit.previous");
+
+        // A crash between the two moves of an earlier publish leaves the last good output only in previous
+        if (!Files.exists(published) && Files.exists(previous)) {
+            Files.move(previous, published, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        deleteDirectory(previous);
+        boolean hadPrevious = Files.exists(published);
+        if (hadPrevious) {
+            Files.move(published, previous, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        try {
+            Files.move(stagingDir(), published, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // Put the last good output back so a failed swap never leaves the user without one
+            if (hadPrevious) {
+                try {
+                    Files.move(previous, published, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+            }
+            throw e;
+        }
+
+        deleteDirectory(previous);
+    }
+
+    private void deleteParts(Path partsDir) {
+        try {
+            deleteDirectory(partsDir);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete dump parts {}", partsDir, e);
+        }
+    }
+
+    private void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
         }
     }
 
     private void copyConfigs(CommandContext<CommandSourceStack> context) {
-        Path outputDir = Paths.get("minecraft-toolkit/configs");
+        Path outputDir = stagingDir().resolve("configs");
         try {
             Files.createDirectories(outputDir);
 
@@ -661,7 +799,7 @@ public class MinecraftToolkitMod
             }
 
         } catch (IOException e) {
-            e.printStackTrace();
+            reportError("configs", outputDir.toString(), e);
         }
     }
 
@@ -676,7 +814,7 @@ public class MinecraftToolkitMod
                         Files.copy(path, destination, StandardCopyOption.REPLACE_EXISTING);
                     }
                 } catch (IOException e) {
-                    e.printStackTrace();
+                    reportError("configs", path.toString(), e);
                 }
             });
         }
@@ -0,0 +1,86 @@
+package net.viniciusaportela.minecrafttoolkitmod;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only JSON array that keeps at most a fixed budget of serialized elements in memory. Once the budget is
+ * exceeded the buffered elements are spilled to a run file on disk, one compact element per line. Elements are
+ * added in index order, so every run is already sorted and merging them back is a sequential read of each run
+ * followed by whatever is still buffered.
+ */
+public class SpillingJsonArray implements Closeable
+{
+    // Rough per-element overhead of the String object and its list slot
+    private static final int ELEMENT_OVERHEAD_BYTES = 48;
+
+    private final Path spillDir;
+    private final String name;
+    private final long budgetBytes;
+
+    private final List<String> buffer = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private long bufferedBytes = 0;
+
+    public SpillingJsonArray(Path spillDir, String name, long budgetBytes) {
+        this.spillDir = spillDir;
+        this.name = name;
+        this.budgetBytes = budgetBytes;
+    }
+
+    public void add(Object element) throws IOException {
+        String json = JsonLines.toLine(element);
+        buffer.add(json);
+        bufferedBytes += json.length() * 2L + ELEMENT_OVERHEAD_BYTES;
+
+        if (bufferedBytes > budgetBytes) {
+            spill();
+        }
+    }
+
+    private void spill() throws IOException {
+        Files.createDirectories(spillDir);
+        Path run = spillDir.resolve(name + "-" + runs.size() + ".run");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(run, StandardCharsets.UTF_8)) {
+            for (String json : buffer) {
+                JsonLines.writeLine(writer, json);
+            }
+        }
+
+        runs.add(run);
+        buffer.clear();
+        bufferedBytes = 0;
+    }
+
+    public void writeTo(JsonWriter writer) throws IOException {
+        writer.beginArray();
+
+        for (Path run : runs) {
+            JsonLines.copyFile(run, writer, element -> {});
+        }
+
+        for (String json : buffer) {
+            JsonLines.copyLine(json, writer, element -> {});
+        }
+
+        writer.endArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+
+        runs.clear();
+        buffer.clear();
+        bufferedBytes = 0;
+    }
+}